@@ -6,14 +6,19 @@ import org.bukkit.GameMode;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.potion.PotionEffect;
@@ -21,15 +26,24 @@ import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class EventPlugin extends JavaPlugin implements Listener {
 
-    private final Set<UUID> eventChatPlayers = new HashSet<>();
+    private final Map<String, ChatChannel> chatChannels = new LinkedHashMap<>();
+    private final Map<UUID, ChatChannel> focusedChannels = new ConcurrentHashMap<>();
     private final Map<UUID, Long> mutedPlayers = new HashMap<>();
     private final Map<UUID, Long> bannedPlayers = new HashMap<>();
     private final Map<UUID, Long> checkedPlayers = new HashMap<>();
@@ -40,6 +54,16 @@ public class EventPlugin extends JavaPlugin implements Listener {
     private FileConfiguration bansConfig;
     private File mutesFile;
     private File bansFile;
+    private ChatChannel defaultChannel;
+    private int chatBatchSize;
+
+    public EventPlugin() {
+        super();
+    }
+
+    protected EventPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
 
     @Override
     public void onEnable() {
@@ -60,10 +84,14 @@ public class EventPlugin extends JavaPlugin implements Listener {
         bansConfig = YamlConfiguration.loadConfiguration(bansFile);
         loadBans();
 
+        loadChannels();
+        refreshAllChannels();
+
         getCommand("event").setExecutor(new EventCommand());
         getServer().getPluginManager().registerEvents(this, this);
         getServer().getScheduler().runTaskTimer(this, this::checkTimers, 0L, 20L);
         getServer().getScheduler().runTaskTimer(this, this::updateCheckTitles, 0L, 40L);
+        getServer().getScheduler().runTaskTimer(this, this::refreshAllChannels, 100L, 100L);
         getLogger().info("EventPlugin enabled for Spigot 1.16.5!");
     }
 
@@ -74,6 +102,26 @@ public class EventPlugin extends JavaPlugin implements Listener {
         getLogger().info("EventPlugin disabled!");
     }
 
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    void saveFile(FileConfiguration configuration, File file) throws IOException {
+        configuration.save(file);
+    }
+
+    Map<UUID, Long> mutedPlayers() {
+        return mutedPlayers;
+    }
+
+    Map<UUID, Long> bannedPlayers() {
+        return bannedPlayers;
+    }
+
+    Map<UUID, Long> checkedPlayers() {
+        return checkedPlayers;
+    }
+
     private String color(String message) {
         return ChatColor.translateAlternateColorCodes('&', message);
     }
@@ -83,7 +131,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
             try {
                 UUID uuid = UUID.fromString(key);
                 long expiry = mutesConfig.getLong(key + ".expiry");
-                if (expiry > System.currentTimeMillis()) {
+                if (expiry > currentTimeMillis()) {
                     mutedPlayers.put(uuid, expiry);
                 }
             } catch (IllegalArgumentException e) {
@@ -97,7 +145,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
             mutesConfig.set(entry.getKey().toString() + ".expiry", entry.getValue());
         }
         try {
-            mutesConfig.save(mutesFile);
+            saveFile(mutesConfig, mutesFile);
         } catch (Exception e) {
             getLogger().warning("Failed to save mutes.yml: " + e.getMessage());
         }
@@ -108,7 +156,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
             try {
                 UUID uuid = UUID.fromString(key);
                 long expiry = bansConfig.getLong(key + ".expiry");
-                if (expiry > System.currentTimeMillis()) {
+                if (expiry > currentTimeMillis()) {
                     bannedPlayers.put(uuid, expiry);
                 }
             } catch (IllegalArgumentException e) {
@@ -122,14 +170,103 @@ public class EventPlugin extends JavaPlugin implements Listener {
             bansConfig.set(entry.getKey().toString() + ".expiry", entry.getValue());
         }
         try {
-            bansConfig.save(bansFile);
+            saveFile(bansConfig, bansFile);
         } catch (Exception e) {
             getLogger().warning("Failed to save bans.yml: " + e.getMessage());
         }
     }
 
+    private void loadChannels() {
+        chatChannels.clear();
+        ConfigurationSection section = config.getConfigurationSection("chat.channels");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                String name = key.toLowerCase();
+                chatChannels.put(name, new ChatChannel(name,
+                        section.getString(key + ".permission", "lifesteal.eventchat." + name),
+                        section.getString(key + ".format", "&7[" + key + "] &f%player%: &e%message%")));
+            }
+        }
+        if (chatChannels.isEmpty()) {
+            chatChannels.put("event", new ChatChannel("event", "lifesteal.eventchat",
+                    config.getString("chat.format", "&7[Event Chat] &f%player%: &e%message%")));
+        }
+        defaultChannel = chatChannels.get(config.getString("chat.default-channel", "event").toLowerCase());
+        if (defaultChannel == null) {
+            defaultChannel = chatChannels.values().iterator().next();
+        }
+        chatBatchSize = Math.max(1, config.getInt("chat.batch-size", 50));
+    }
+
+    private void refreshChannels(Player player) {
+        UUID playerId = player.getUniqueId();
+        for (ChatChannel channel : chatChannels.values()) {
+            if (player.hasPermission(channel.permission) && !channel.optedOut.contains(playerId)) {
+                channel.subscribers.add(playerId);
+            } else {
+                channel.subscribers.remove(playerId);
+            }
+        }
+    }
+
+    private void refreshAllChannels() {
+        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
+            refreshChannels(onlinePlayer);
+        }
+    }
+
+    private ChatChannel findChannel(String name) {
+        return chatChannels.get((name.startsWith("#") ? name.substring(1) : name).toLowerCase());
+    }
+
+    private void sendToChannel(ChatChannel channel, String playerName, String message) {
+        channel.pending.add(color(channel.format
+                .replace("%player%", playerName)
+                .replace("%message%", message)));
+        if (channel.draining.compareAndSet(false, true)) {
+            getServer().getScheduler().runTask(this, () -> drainChannel(channel));
+        }
+    }
+
+    private void drainChannel(ChatChannel channel) {
+        List<String> messages = new ArrayList<>();
+        String formattedMessage;
+        while ((formattedMessage = channel.pending.poll()) != null) {
+            messages.add(formattedMessage);
+        }
+        if (messages.isEmpty()) {
+            channel.draining.set(false);
+            if (!channel.pending.isEmpty() && channel.draining.compareAndSet(false, true)) {
+                getServer().getScheduler().runTask(this, () -> drainChannel(channel));
+            }
+            return;
+        }
+        List<Player> recipients = new ArrayList<>();
+        for (UUID recipientId : channel.subscribers) {
+            Player recipient = Bukkit.getPlayer(recipientId);
+            if (recipient != null) {
+                recipients.add(recipient);
+            }
+        }
+        getServer().getScheduler().runTaskAsynchronously(this, () -> deliverBatch(channel, messages, recipients, 0));
+    }
+
+    private void deliverBatch(ChatChannel channel, List<String> messages, List<Player> recipients, int from) {
+        int to = Math.min(from + chatBatchSize, recipients.size());
+        for (Player recipient : recipients.subList(from, to)) {
+            for (String message : messages) {
+                recipient.sendMessage(message);
+            }
+        }
+        if (to < recipients.size()) {
+            getServer().getScheduler().runTaskAsynchronously(this, () -> deliverBatch(channel, messages, recipients, to));
+        } else {
+            getServer().getScheduler().runTask(this, () -> drainChannel(channel));
+        }
+    }
+
     private void checkTimers() {
-        long now = System.currentTimeMillis();
+        long now = currentTimeMillis();
         mutedPlayers.entrySet().removeIf(entry -> {
             if (entry.getValue() <= now) {
                 Player player = Bukkit.getPlayer(entry.getKey());
@@ -156,7 +293,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
             if (entry.getValue() <= now) {
                 Player player = Bukkit.getPlayer(entry.getKey());
                 if (player != null && player.isOnline()) {
-                    bannedPlayers.put(player.getUniqueId(), System.currentTimeMillis() + 7 * 24 * 60 * 60 * 1000);
+                    bannedPlayers.put(player.getUniqueId(), currentTimeMillis() + 7 * 24 * 60 * 60 * 1000);
                     saveBans();
                     player.kickPlayer(color(config.getString("messages.check-ban-auto", "&cВы были забанены на 7 дней за истечение времени проверки!")));
                 }
@@ -198,8 +335,8 @@ public class EventPlugin extends JavaPlugin implements Listener {
         playerIPs.put(playerId, player.getAddress().getAddress().getHostAddress());
         if (bannedPlayers.containsKey(playerId)) {
             long expiry = bannedPlayers.get(playerId);
-            if (expiry > System.currentTimeMillis()) {
-                long remaining = (expiry - System.currentTimeMillis()) / 1000;
+            if (expiry > currentTimeMillis()) {
+                long remaining = (expiry - currentTimeMillis()) / 1000;
                 long days = remaining / (24 * 60 * 60);
                 long hours = (remaining % (24 * 60 * 60)) / (60 * 60);
                 long minutes = (remaining % (60 * 60)) / 60;
@@ -213,6 +350,19 @@ public class EventPlugin extends JavaPlugin implements Listener {
         }
     }
 
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        refreshChannels(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        for (ChatChannel channel : chatChannels.values()) {
+            channel.subscribers.remove(playerId);
+        }
+    }
+
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
         if (checkedPlayers.containsKey(event.getPlayer().getUniqueId())) {
@@ -241,7 +391,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
 
         if (mutedPlayers.containsKey(playerId)) {
             long expiry = mutedPlayers.get(playerId);
-            if (expiry > System.currentTimeMillis()) {
+            if (expiry > currentTimeMillis()) {
                 event.setCancelled(true);
                 player.sendMessage(color(config.getString("messages.mute-blocked", "&cВы замучены и не можете писать в чат!")));
                 return;
@@ -266,17 +416,31 @@ public class EventPlugin extends JavaPlugin implements Listener {
             return;
         }
 
-        if (eventChatPlayers.contains(playerId)) {
+        ChatChannel channel = focusedChannels.get(playerId);
+        if (channel != null) {
             event.setCancelled(true);
-            String message = event.getMessage();
-            String formattedMessage = color(config.getString("chat.format", "&7[Event Chat] &f%player%: &e%message%")
-                    .replace("%player%", player.getName())
-                    .replace("%message%", message));
-            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                if (onlinePlayer.hasPermission("lifesteal.eventchat")) {
-                    onlinePlayer.sendMessage(formattedMessage);
-                }
+            if (!player.hasPermission(channel.permission)) {
+                focusedChannels.remove(playerId);
+                player.sendMessage(color(config.getString("messages.no-permission", "&cУ вас нет прав!")));
+                return;
             }
+            sendToChannel(channel, player.getName(), event.getMessage());
+        }
+    }
+
+    private static class ChatChannel {
+        private final String name;
+        private final String permission;
+        private final String format;
+        private final Set<UUID> subscribers = ConcurrentHashMap.newKeySet();
+        private final Set<UUID> optedOut = ConcurrentHashMap.newKeySet();
+        private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private ChatChannel(String name, String permission, String format) {
+            this.name = name;
+            this.permission = permission;
+            this.format = format;
         }
     }
 
@@ -284,7 +448,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
         @Override
         public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
             if (args.length == 0) {
-                sender.sendMessage(color(config.getString("messages.usage", "&cИспользование: /event <kick|chat|mute|ban|check|checkaddtime|checkrevise|checkban|checkbanpriz|checkchat|dupeip|baninfo|unban|help>")));
+                sender.sendMessage(color(config.getString("messages.usage", "&cИспользование: /event <kick|chat|chatlisten|mute|ban|check|checkaddtime|checkrevise|checkban|checkbanpriz|checkchat|dupeip|baninfo|unban|help>")));
                 return true;
             }
 
@@ -330,7 +494,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
                     sender.sendMessage(color(config.getString("messages.invalid-duration", "&cНеверный формат времени! Используйте: 5m, 4d, 1h, 30s")));
                     return true;
                 }
-                long expiry = System.currentTimeMillis() + duration;
+                long expiry = currentTimeMillis() + duration;
                 mutedPlayers.put(target.getUniqueId(), expiry);
                 saveMutes();
                 sender.sendMessage(color(config.getString("messages.mute-success", "&aИгрок %player% замучен на %duration% по причине: %reason%")
@@ -364,7 +528,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
                     sender.sendMessage(color(config.getString("messages.invalid-duration", "&cНеверный формат времени! Используйте: 5m, 4d, 1h, 30s")));
                     return true;
                 }
-                long expiry = System.currentTimeMillis() + duration;
+                long expiry = currentTimeMillis() + duration;
                 bannedPlayers.put(target.getUniqueId(), expiry);
                 saveBans();
                 target.kickPlayer(color(config.getString("messages.ban-target", "&cВы забанены на %duration% по причине: %reason%")
@@ -395,7 +559,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
                     sender.sendMessage(color(config.getString("messages.check-already", "&cИгрок %player% уже на проверке!").replace("%player%", target.getName())));
                     return true;
                 }
-                checkedPlayers.put(target.getUniqueId(), System.currentTimeMillis() + 5 * 60 * 1000);
+                checkedPlayers.put(target.getUniqueId(), currentTimeMillis() + 5 * 60 * 1000);
                 if (sender instanceof Player) {
                     checkers.put(target.getUniqueId(), ((Player) sender).getUniqueId());
                 }
@@ -481,7 +645,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
                 checkers.remove(target.getUniqueId());
                 target.removePotionEffect(PotionEffectType.SLOW);
                 target.removePotionEffect(PotionEffectType.BLINDNESS);
-                bannedPlayers.put(target.getUniqueId(), System.currentTimeMillis() + 7 * 24 * 60 * 60 * 1000);
+                bannedPlayers.put(target.getUniqueId(), currentTimeMillis() + 7 * 24 * 60 * 60 * 1000);
                 saveBans();
                 target.kickPlayer(color(config.getString("messages.checkban-target", "&cВы забанены на 7 дней за читы!")));
                 sender.sendMessage(color(config.getString("messages.checkban-success", "&aИгрок %player% забанен на 7 дней за читы!").replace("%player%", target.getName())));
@@ -510,7 +674,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
                 checkers.remove(target.getUniqueId());
                 target.removePotionEffect(PotionEffectType.SLOW);
                 target.removePotionEffect(PotionEffectType.BLINDNESS);
-                bannedPlayers.put(target.getUniqueId(), System.currentTimeMillis() + 4 * 24 * 60 * 60 * 1000);
+                bannedPlayers.put(target.getUniqueId(), currentTimeMillis() + 4 * 24 * 60 * 60 * 1000);
                 saveBans();
                 target.kickPlayer(color(config.getString("messages.checkbanpriz-target", "&cВы забанены на 4 дня за читы!")));
                 sender.sendMessage(color(config.getString("messages.checkbanpriz-success", "&aИгрок %player% забанен на 4 дня за читы!").replace("%player%", target.getName())));
@@ -594,7 +758,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
                 UUID targetId = target.getUniqueId();
                 if (bannedPlayers.containsKey(targetId)) {
                     long expiry = bannedPlayers.get(targetId);
-                    long remaining = (expiry - System.currentTimeMillis()) / 1000;
+                    long remaining = (expiry - currentTimeMillis()) / 1000;
                     long days = remaining / (24 * 60 * 60);
                     long hours = (remaining % (24 * 60 * 60)) / (60 * 60);
                     long minutes = (remaining % (60 * 60)) / 60;
@@ -639,36 +803,72 @@ public class EventPlugin extends JavaPlugin implements Listener {
                     sender.sendMessage(color(config.getString("messages.player-only", "&cЭта команда только для игроков!")));
                     return true;
                 }
-                if (!sender.hasPermission("lifesteal.eventchat")) {
+                Player player = (Player) sender;
+                UUID playerId = player.getUniqueId();
+                ChatChannel channel = defaultChannel;
+                int messageStart = 1;
+                if (args.length > 1 && args[1].startsWith("#")) {
+                    channel = findChannel(args[1]);
+                    if (channel == null) {
+                        sender.sendMessage(color(config.getString("messages.channel-not-found", "&cКанал %channel% не найден!").replace("%channel%", args[1])));
+                        return true;
+                    }
+                    messageStart = 2;
+                }
+                if (!sender.hasPermission(channel.permission)) {
                     sender.sendMessage(color(config.getString("messages.no-permission", "&cУ вас нет прав!")));
                     return true;
                 }
-                Player player = (Player) sender;
-                UUID playerId = player.getUniqueId();
 
-                if (args.length == 1) {
-                    if (eventChatPlayers.contains(playerId)) {
-                        eventChatPlayers.remove(playerId);
-                        player.sendMessage(color(config.getString("messages.chat-disabled", "&aРежим Event Chat выключен.")));
+                if (args.length == messageStart) {
+                    if (focusedChannels.get(playerId) == channel) {
+                        focusedChannels.remove(playerId);
+                        player.sendMessage(color(config.getString("messages.chat-disabled", "&aЧат %channel% выключен.").replace("%channel%", channel.name)));
                     } else {
-                        eventChatPlayers.add(playerId);
-                        player.sendMessage(color(config.getString("messages.chat-enabled", "&aРежим Event Chat включен. Все ваши сообщения будут отправляться в Event Chat.")));
+                        focusedChannels.put(playerId, channel);
+                        channel.optedOut.remove(playerId);
+                        channel.subscribers.add(playerId);
+                        player.sendMessage(color(config.getString("messages.chat-enabled", "&aЧат %channel% включен. Все ваши сообщения будут отправляться в %channel%.").replace("%channel%", channel.name)));
                     }
                     return true;
                 }
 
-                String message = String.join(" ", args).substring(5).trim();
+                String message = String.join(" ", Arrays.copyOfRange(args, messageStart, args.length)).trim();
                 if (message.isEmpty()) {
-                    sender.sendMessage(color(config.getString("messages.chat-usage", "&cИспользование: /event chat <сообщение>")));
+                    sender.sendMessage(color(config.getString("messages.chat-usage", "&cИспользование: /event chat [#канал] <сообщение>")));
                     return true;
                 }
-                String formattedMessage = color(config.getString("chat.format", "&7[Event Chat] &f%player%: &e%message%")
-                        .replace("%player%", player.getName())
-                        .replace("%message%", message));
-                for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                    if (onlinePlayer.hasPermission("lifesteal.eventchat")) {
-                        onlinePlayer.sendMessage(formattedMessage);
-                    }
+                sendToChannel(channel, player.getName(), message);
+                return true;
+            }
+
+            if (args[0].equalsIgnoreCase("chatlisten")) {
+                if (!(sender instanceof Player)) {
+                    sender.sendMessage(color(config.getString("messages.player-only", "&cЭта команда только для игроков!")));
+                    return true;
+                }
+                if (args.length < 2) {
+                    sender.sendMessage(color(config.getString("messages.chatlisten-usage", "&cИспользование: /event chatlisten <канал>")));
+                    return true;
+                }
+                ChatChannel channel = findChannel(args[1]);
+                if (channel == null) {
+                    sender.sendMessage(color(config.getString("messages.channel-not-found", "&cКанал %channel% не найден!").replace("%channel%", args[1])));
+                    return true;
+                }
+                if (!sender.hasPermission(channel.permission)) {
+                    sender.sendMessage(color(config.getString("messages.no-permission", "&cУ вас нет прав!")));
+                    return true;
+                }
+                UUID playerId = ((Player) sender).getUniqueId();
+                if (channel.subscribers.remove(playerId)) {
+                    channel.optedOut.add(playerId);
+                    focusedChannels.remove(playerId, channel);
+                    sender.sendMessage(color(config.getString("messages.chatlisten-disabled", "&aВы больше не получаете сообщения канала %channel%.").replace("%channel%", channel.name)));
+                } else {
+                    channel.optedOut.remove(playerId);
+                    channel.subscribers.add(playerId);
+                    sender.sendMessage(color(config.getString("messages.chatlisten-enabled", "&aВы снова получаете сообщения канала %channel%.").replace("%channel%", channel.name)));
                 }
                 return true;
             }
@@ -685,7 +885,7 @@ public class EventPlugin extends JavaPlugin implements Listener {
                 return true;
             }
 
-            sender.sendMessage(color(config.getString("messages.usage", "&cИспользование: /event <kick|chat|mute|ban|check|checkaddtime|checkrevise|checkban|checkbanpriz|checkchat|dupeip|baninfo|unban|help>")));
+            sender.sendMessage(color(config.getString("messages.usage", "&cИспользование: /event <kick|chat|chatlisten|mute|ban|check|checkaddtime|checkrevise|checkban|checkbanpriz|checkchat|dupeip|baninfo|unban|help>")));
             return true;
         }
     }
@@ -0,0 +1,618 @@
+package org.example;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Headless soak test for {@link EventPlugin}. Drives the plugin's listeners and /event command
+ * through {@link SimServer} on virtual 50 ms ticks and reports per-tick plugin time, allocation,
+ * CPU time and allocation of the async worker threads, GC pauses, file writes and sanction
+ * expiry accuracy.
+ *
+ * <p>Run with {@code mvn -B -Psoak test-compile exec:exec -Dsim.args="profile=mixed ticks=6000"}.
+ * Any profile value can be overridden as {@code key=value}.
+ */
+public final class LoadSimulator {
+
+    private static final long TICK_MILLIS = 50;
+    private static final Set<Player> NO_RECIPIENTS = Collections.emptySet();
+    private static final String[] MESSAGES = {
+            "gg", "anyone selling diamonds?", "where is the event arena", "lag?", "my discord is player#0001",
+            "tp me pls", "who won the last round", "can I join the red team", "brb", "nice fight"
+    };
+    private static final String[] PLAIN_COMMANDS = {"/home", "/spawn", "/warp arena", "/tpa", "/event help"};
+    private static final Map<String, String> PROFILES = new LinkedHashMap<>();
+
+    static {
+        PROFILES.put("chat", "players=500 staff=20 chatRate=0.02 moveRate=0.2 commandRate=0.002 checks=0 sanctions=0 joinStormSize=0");
+        PROFILES.put("checks", "players=200 staff=20 chatRate=0.01 moveRate=0.5 commandRate=0.002 checks=20 sanctions=0 joinStormSize=0");
+        PROFILES.put("sanctions", "players=100 staff=10 chatRate=0.005 moveRate=0.2 commandRate=0.001 checks=0 sanctions=50000 joinStormSize=0");
+        PROFILES.put("joinstorm", "players=50 staff=5 chatRate=0.005 moveRate=0.2 commandRate=0.001 checks=0 sanctions=5000 joinStormTick=200 joinStormSize=1000");
+        PROFILES.put("mixed", "players=500 staff=25 chatRate=0.01 moveRate=0.5 commandRate=0.002 checks=20 sanctions=50000 joinStormTick=1200 joinStormSize=300");
+    }
+
+    private final Map<String, String> options;
+    private final int ticks;
+    private final int reportEvery;
+    private final double chatRate;
+    private final double moveRate;
+    private final double commandRate;
+    private final double checkResolveRate;
+    private final double channelFocus;
+    private final Random random;
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long mainThreadId = Thread.currentThread().getId();
+    private final List<Long> gcPauses = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<SimServer.SimPlayer> connected = new ArrayList<>();
+    private final List<SimServer.SimPlayer> staff = new ArrayList<>();
+    private final List<SimServer.SimPlayer> regulars = new ArrayList<>();
+    private final Map<UUID, SimServer.SimPlayer> activeChecks = new LinkedHashMap<>();
+    private final List<UUID> seededBans = new ArrayList<>();
+
+    private final PriorityQueue<Expiry> expiries = new PriorityQueue<>(Comparator.comparingLong((Expiry expiry) -> expiry.at));
+    private final Map<String, Expiry> trackedExpiries = new HashMap<>();
+    private final List<Expiry> overdue = new ArrayList<>();
+    private final List<Long> expiryLags = new ArrayList<>();
+
+    private SimServer sim;
+    private SimulatedEventPlugin plugin;
+    private Map<UUID, Long> mutedPlayers;
+    private Map<UUID, Long> bannedPlayers;
+    private Map<UUID, Long> checkedPlayers;
+    private long startMillis;
+    private long now;
+    private int nextPlayerIndex;
+    private long acceptedLogins;
+    private long rejectedLogins;
+    private long tickNanos;
+    private long tickAlloc;
+
+    private LoadSimulator(Map<String, String> options) {
+        this.options = options;
+        ticks = intOption("ticks");
+        reportEvery = Math.max(1, intOption("reportEvery"));
+        chatRate = doubleOption("chatRate");
+        moveRate = doubleOption("moveRate");
+        commandRate = doubleOption("commandRate");
+        checkResolveRate = doubleOption("checkResolveRate");
+        channelFocus = doubleOption("channelFocus");
+        random = new Random(Long.parseLong(options.get("seed")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        parseOptions("ticks=6000 seed=1 asyncThreads=4 reportEvery=1200 checkResolveRate=0.00025 channelFocus=0.2 joinStormTick=0", options);
+        String profile = "mixed";
+        for (String arg : args) {
+            if (arg.startsWith("profile=")) {
+                profile = arg.substring("profile=".length());
+            }
+        }
+        if (!PROFILES.containsKey(profile)) {
+            System.err.println("Unknown profile " + profile + ", expected one of " + PROFILES.keySet());
+            System.exit(2);
+        }
+        options.put("profile", profile);
+        parseOptions(PROFILES.get(profile), options);
+        parseOptions(String.join(" ", args), options);
+        new LoadSimulator(options).run();
+    }
+
+    private static void parseOptions(String line, Map<String, String> options) {
+        for (String token : line.trim().split("\\s+")) {
+            int separator = token.indexOf('=');
+            if (separator > 0) {
+                options.put(token.substring(0, separator), token.substring(separator + 1));
+            }
+        }
+    }
+
+    private int intOption(String key) {
+        return Integer.parseInt(options.get(key));
+    }
+
+    private double doubleOption(String key) {
+        return Double.parseDouble(options.get(key));
+    }
+
+    private void run() throws Exception {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threads.setThreadCpuTimeEnabled(true);
+        listenForGcPauses();
+
+        File dataFolder = Files.createTempDirectory("eventplugin-soak").toFile();
+        sim = new SimServer(intOption("asyncThreads"));
+        Bukkit.setServer(sim.server);
+        PluginDescriptionFile description;
+        try (InputStream in = LoadSimulator.class.getClassLoader().getResourceAsStream("plugin.yml")) {
+            description = new PluginDescriptionFile(in);
+        }
+        // JavaPluginLoader(Server) is deprecated but is the only way to initialize a plugin outside a PluginClassLoader.
+        @SuppressWarnings("deprecation")
+        JavaPluginLoader loader = new JavaPluginLoader(sim.server);
+        plugin = new SimulatedEventPlugin(loader, description, dataFolder, new File(dataFolder, "EventPlugin.jar"));
+        sim.attach(plugin);
+        mutedPlayers = plugin.mutedPlayers();
+        bannedPlayers = plugin.bannedPlayers();
+        checkedPlayers = plugin.checkedPlayers();
+
+        startMillis = System.currentTimeMillis();
+        now = startMillis;
+        plugin.setVirtualTime(now);
+        seedSanctions(dataFolder, intOption("sanctions"));
+
+        long enableStart = System.nanoTime();
+        plugin.enable();
+        double enableMillis = (System.nanoTime() - enableStart) / 1e6;
+
+        long[] pluginNanos = new long[ticks];
+        long[] allocated = new long[ticks];
+        long[] fileWrites = new long[ticks];
+        long[] asyncTasks = new long[ticks];
+        long[] asyncNanos = new long[ticks];
+        long[] asyncAllocated = new long[ticks];
+        int joinStormTick = intOption("joinStormTick");
+        long wallStart = System.nanoTime();
+        int windowStart = 0;
+        int gcWindowStart = 0;
+        long writesBefore = plugin.fileWrites.sum();
+        long asyncTasksBefore = sim.asyncTasks.sum();
+        long[] asyncBefore = sampleAsyncThreads();
+
+        for (int tick = 0; tick < ticks; tick++) {
+            now = startMillis + tick * TICK_MILLIS;
+            plugin.setVirtualTime(now);
+            tickNanos = 0;
+            tickAlloc = 0;
+
+            if (tick == 0) {
+                for (int i = 0; i < intOption("players"); i++) {
+                    connect(newPlayer(i < intOption("staff")), true);
+                }
+            }
+            if (tick == joinStormTick && tick > 0) {
+                joinStorm(intOption("joinStormSize"));
+            }
+            startChecks();
+            simulatePlayers();
+            resolveChecks();
+            long serverTick = tick;
+            timed(() -> sim.tick(serverTick));
+            observeExpiries();
+            for (SimServer.SimPlayer kicked : sim.drainKicks()) {
+                disconnect(kicked);
+            }
+
+            pluginNanos[tick] = tickNanos;
+            allocated[tick] = tickAlloc;
+            long writes = plugin.fileWrites.sum();
+            fileWrites[tick] = writes - writesBefore;
+            writesBefore = writes;
+            long tasks = sim.asyncTasks.sum();
+            asyncTasks[tick] = tasks - asyncTasksBefore;
+            asyncTasksBefore = tasks;
+            long[] asyncNow = sampleAsyncThreads();
+            asyncNanos[tick] = asyncNow[0] - asyncBefore[0];
+            asyncAllocated[tick] = asyncNow[1] - asyncBefore[1];
+            asyncBefore = asyncNow;
+
+            if ((tick + 1) % reportEvery == 0 || tick == ticks - 1) {
+                int gcCount = gcPauses.size();
+                printWindow(windowStart, tick + 1, pluginNanos, allocated, fileWrites, asyncTasks, asyncNanos, asyncAllocated, snapshotGc(gcWindowStart, gcCount));
+                windowStart = tick + 1;
+                gcWindowStart = gcCount;
+            }
+        }
+
+        double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+        long disableStart = System.nanoTime();
+        plugin.disable();
+        double disableMillis = (System.nanoTime() - disableStart) / 1e6;
+        boolean drained = sim.shutdown(30);
+        long[] asyncAfter = sampleAsyncThreads();
+        printSummary(pluginNanos, allocated, fileWrites, asyncNanos, asyncAllocated,
+                new long[]{asyncAfter[0] - asyncBefore[0], asyncAfter[1] - asyncBefore[1]},
+                wallSeconds, enableMillis, disableMillis, drained, dataFolder);
+    }
+
+    private long[] sampleAsyncThreads() {
+        long cpuNanos = 0;
+        long allocatedBytes = 0;
+        for (long threadId : sim.asyncThreadIds()) {
+            cpuNanos += Math.max(0, threads.getThreadCpuTime(threadId));
+            allocatedBytes += Math.max(0, threads.getThreadAllocatedBytes(threadId));
+        }
+        return new long[]{cpuNanos, allocatedBytes};
+    }
+
+    private void listenForGcPauses() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(bean instanceof NotificationEmitter)) {
+                continue;
+            }
+            ((NotificationEmitter) bean).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                if (!info.getGcAction().toLowerCase(Locale.ROOT).contains("concurrent")) {
+                    gcPauses.add(info.getGcInfo().getDuration());
+                }
+            }, null, null);
+        }
+    }
+
+    private long[] snapshotGc(int from, int to) {
+        synchronized (gcPauses) {
+            long[] pauses = new long[to - from];
+            for (int i = from; i < to; i++) {
+                pauses[i - from] = gcPauses.get(i);
+            }
+            return pauses;
+        }
+    }
+
+    private void seedSanctions(File dataFolder, int count) throws IOException {
+        long horizon = (long) (ticks * TICK_MILLIS * 1.2);
+        try (PrintWriter mutes = new PrintWriter(Files.newBufferedWriter(new File(dataFolder, "mutes.yml").toPath(), StandardCharsets.UTF_8));
+             PrintWriter bans = new PrintWriter(Files.newBufferedWriter(new File(dataFolder, "bans.yml").toPath(), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(random.nextLong(), random.nextLong());
+                long expiry = now + TICK_MILLIS + (long) (random.nextDouble() * horizon);
+                boolean mute = i % 2 == 0;
+                PrintWriter out = mute ? mutes : bans;
+                out.println(uuid + ":");
+                out.println("  expiry: " + expiry);
+                if (mute) {
+                    track("mute", mutedPlayers, uuid, expiry);
+                } else {
+                    track("ban", bannedPlayers, uuid, expiry);
+                    seededBans.add(uuid);
+                }
+            }
+        }
+    }
+
+    private SimServer.SimPlayer newPlayer(boolean isStaff) {
+        int index = nextPlayerIndex++;
+        String address = "10." + (index / 4 / 250 / 250 % 250) + "." + (index / 4 / 250 % 250) + "." + (index / 4 % 250 + 1);
+        SimServer.SimPlayer player = sim.createPlayer((isStaff ? "Staff" : "Player") + index, new UUID(0x5EEDL, index), address);
+        if (isStaff) {
+            player.permissions.addAll(Arrays.asList("lifesteal.event", "lifesteal.event.kick", "lifesteal.event.mute",
+                    "lifesteal.event.ban", "lifesteal.event.check", "lifesteal.event.dupeip", "lifesteal.event.baninfo",
+                    "lifesteal.event.unban", "lifesteal.eventchat", "lifesteal.eventchat.staff", "lifesteal.eventchat.admin"));
+        } else {
+            player.permissions.add(index % 2 == 0 ? "lifesteal.eventchat.team.red" : "lifesteal.eventchat.team.blue");
+        }
+        return player;
+    }
+
+    private void connect(SimServer.SimPlayer player, boolean focusChannel) {
+        PlayerLoginEvent login = new PlayerLoginEvent(player.proxy, "localhost", player.address.getAddress());
+        timed(() -> plugin.onPlayerLogin(login));
+        if (login.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            rejectedLogins++;
+            return;
+        }
+        acceptedLogins++;
+        sim.addOnline(player);
+        PlayerJoinEvent join = new PlayerJoinEvent(player.proxy, player.name + " joined the game");
+        timed(() -> plugin.onPlayerJoin(join));
+        connected.add(player);
+        boolean isStaff = player.permissions.contains("lifesteal.event.check");
+        (isStaff ? staff : regulars).add(player);
+        if (focusChannel && random.nextDouble() < (isStaff ? 0.5 : channelFocus)) {
+            dispatch(player, isStaff ? "/event chat #staff" : "/event chat #" + (player.permissions.contains("lifesteal.eventchat.team.red") ? "red" : "blue"));
+        }
+    }
+
+    private void disconnect(SimServer.SimPlayer player) {
+        PlayerQuitEvent quit = new PlayerQuitEvent(player.proxy, player.name + " left the game");
+        timed(() -> plugin.onPlayerQuit(quit));
+        sim.removeOnline(player);
+        connected.remove(player);
+        staff.remove(player);
+        regulars.remove(player);
+        activeChecks.remove(player.uuid);
+        cancel("check", player.uuid);
+    }
+
+    private void joinStorm(int size) {
+        int banned = Math.min(size / 10, seededBans.size());
+        for (int i = 0; i < size - banned; i++) {
+            connect(newPlayer(false), true);
+        }
+        for (int i = 0; i < banned; i++) {
+            UUID uuid = seededBans.get(random.nextInt(seededBans.size()));
+            connect(sim.createPlayer("Banned" + i, uuid, "10.250.0." + (i % 250 + 1)), false);
+        }
+    }
+
+    private void simulatePlayers() {
+        for (int i = 0; i < connected.size(); i++) {
+            SimServer.SimPlayer player = connected.get(i);
+            if (!player.online) {
+                continue;
+            }
+            if (random.nextDouble() < moveRate) {
+                double x = random.nextInt(1000);
+                double z = random.nextInt(1000);
+                PlayerMoveEvent move = new PlayerMoveEvent(player.proxy, new Location(null, x, 64, z), new Location(null, x + 0.2, 64, z + 0.2));
+                timed(() -> plugin.onPlayerMove(move));
+            }
+            if (random.nextDouble() < chatRate) {
+                AsyncPlayerChatEvent chat = new AsyncPlayerChatEvent(true, player.proxy, MESSAGES[random.nextInt(MESSAGES.length)], NO_RECIPIENTS);
+                timed(() -> plugin.onPlayerChat(chat));
+            }
+            if (random.nextDouble() < commandRate) {
+                if (staff.contains(player)) {
+                    staffCommand(player);
+                } else {
+                    String command = PLAIN_COMMANDS[random.nextInt(PLAIN_COMMANDS.length)];
+                    dispatch(player, command.equals("/tpa") ? command + " " + randomName(regulars) : command);
+                }
+            }
+        }
+    }
+
+    private void staffCommand(SimServer.SimPlayer player) {
+        switch (random.nextInt(4)) {
+            case 0:
+                dispatch(player, "/event baninfo " + randomName(connected));
+                break;
+            case 1:
+                dispatch(player, "/event dupeip " + randomName(connected));
+                break;
+            case 2:
+                if (!regulars.isEmpty()) {
+                    SimServer.SimPlayer target = regulars.get(random.nextInt(regulars.size()));
+                    dispatch(player, "/event mute " + target.name + " spam 30s");
+                    trackFromPlugin("mute", mutedPlayers, target.uuid);
+                }
+                break;
+            default:
+                dispatch(player, "/event chat #staff " + MESSAGES[random.nextInt(MESSAGES.length)]);
+                break;
+        }
+    }
+
+    private String randomName(List<SimServer.SimPlayer> players) {
+        return players.isEmpty() ? "nobody" : players.get(random.nextInt(players.size())).name;
+    }
+
+    private void dispatch(SimServer.SimPlayer player, String line) {
+        PlayerCommandPreprocessEvent preprocess = new PlayerCommandPreprocessEvent(player.proxy, line);
+        timed(() -> plugin.onPlayerCommand(preprocess));
+        if (preprocess.isCancelled() || !line.startsWith("/event ")) {
+            return;
+        }
+        String[] args = line.substring("/event ".length()).split(" ");
+        timed(() -> sim.eventCommand().execute(player.proxy, "event", args));
+    }
+
+    private void startChecks() {
+        int target = intOption("checks");
+        int attempts = 0;
+        while (activeChecks.size() < target && !staff.isEmpty() && regulars.size() > activeChecks.size() && attempts++ < target * 4) {
+            SimServer.SimPlayer suspect = regulars.get(random.nextInt(regulars.size()));
+            if (activeChecks.containsKey(suspect.uuid)) {
+                continue;
+            }
+            dispatch(staff.get(random.nextInt(staff.size())), "/event check " + suspect.name);
+            if (trackFromPlugin("check", checkedPlayers, suspect.uuid)) {
+                activeChecks.put(suspect.uuid, suspect);
+            }
+        }
+    }
+
+    private void resolveChecks() {
+        if (staff.isEmpty()) {
+            return;
+        }
+        for (SimServer.SimPlayer suspect : new ArrayList<>(activeChecks.values())) {
+            if (random.nextDouble() >= checkResolveRate) {
+                continue;
+            }
+            SimServer.SimPlayer checker = staff.get(random.nextInt(staff.size()));
+            int action = random.nextInt(10);
+            if (action < 2) {
+                dispatch(checker, "/event checkaddtime " + suspect.name);
+                trackFromPlugin("check", checkedPlayers, suspect.uuid);
+                continue;
+            }
+            dispatch(checker, (action < 7 ? "/event checkrevise " : "/event checkban ") + suspect.name);
+            activeChecks.remove(suspect.uuid);
+            cancel("check", suspect.uuid);
+        }
+    }
+
+    private void timed(Runnable action) {
+        long allocatedBefore = threads.getThreadAllocatedBytes(mainThreadId);
+        long start = System.nanoTime();
+        action.run();
+        tickNanos += System.nanoTime() - start;
+        tickAlloc += threads.getThreadAllocatedBytes(mainThreadId) - allocatedBefore;
+    }
+
+    private void track(String kind, Map<UUID, Long> source, UUID uuid, long at) {
+        Expiry expiry = new Expiry(kind + uuid, source, uuid, at);
+        trackedExpiries.put(expiry.key, expiry);
+        expiries.add(expiry);
+    }
+
+    private boolean trackFromPlugin(String kind, Map<UUID, Long> source, UUID uuid) {
+        Long at = source.get(uuid);
+        if (at == null) {
+            return false;
+        }
+        track(kind, source, uuid, at);
+        return true;
+    }
+
+    private void cancel(String kind, UUID uuid) {
+        trackedExpiries.remove(kind + uuid);
+    }
+
+    private void observeExpiries() {
+        while (!expiries.isEmpty() && expiries.peek().at <= now) {
+            overdue.add(expiries.poll());
+        }
+        Iterator<Expiry> iterator = overdue.iterator();
+        while (iterator.hasNext()) {
+            Expiry expiry = iterator.next();
+            if (trackedExpiries.get(expiry.key) != expiry) {
+                iterator.remove();
+            } else if (!expiry.source.containsKey(expiry.uuid)) {
+                expiryLags.add(now - expiry.at);
+                trackedExpiries.remove(expiry.key);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void printWindow(int from, int to, long[] pluginNanos, long[] allocated, long[] fileWrites, long[] asyncTasks,
+                             long[] asyncNanos, long[] asyncAllocated, long[] pauses) {
+        long[] nanos = Arrays.copyOfRange(pluginNanos, from, to);
+        Arrays.sort(nanos);
+        System.out.printf(Locale.ROOT,
+                "[ticks %6d-%6d] online=%4d plugin ms/tick mean=%.3f p99=%.3f max=%.3f over-budget=%d | alloc=%.1f MB"
+                        + " | async cpu ms/tick mean=%.3f alloc=%.1f MB tasks=%d | gc pauses=%d max=%d ms | file writes=%d%n",
+                from, to - 1, sim.onlinePlayers().size(), mean(nanos) / 1e6, percentile(nanos, 0.99) / 1e6, nanos[nanos.length - 1] / 1e6,
+                countOver(nanos, TICK_MILLIS * 1_000_000L), sum(allocated, from, to) / 1048576.0,
+                (double) sum(asyncNanos, from, to) / (to - from) / 1e6, sum(asyncAllocated, from, to) / 1048576.0, sum(asyncTasks, from, to),
+                pauses.length, max(pauses), sum(fileWrites, from, to));
+    }
+
+    private void printSummary(long[] pluginNanos, long[] allocated, long[] fileWrites, long[] asyncNanos, long[] asyncAllocated,
+                              long[] asyncTotal, double wallSeconds, double enableMillis, double disableMillis, boolean drained,
+                              File dataFolder) {
+        long[] nanos = pluginNanos.clone();
+        Arrays.sort(nanos);
+        long[] alloc = allocated.clone();
+        Arrays.sort(alloc);
+        long[] writes = fileWrites.clone();
+        Arrays.sort(writes);
+        long[] asyncCpu = asyncNanos.clone();
+        Arrays.sort(asyncCpu);
+        long[] asyncAlloc = asyncAllocated.clone();
+        Arrays.sort(asyncAlloc);
+        long[] pauses = snapshotGc(0, gcPauses.size());
+        long[] lags = new long[expiryLags.size()];
+        for (int i = 0; i < lags.length; i++) {
+            lags[i] = expiryLags.get(i);
+        }
+        Arrays.sort(lags);
+        long totalWrites = plugin.fileWrites.sum();
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "=== EventPlugin soak: %s ===%n", options);
+        System.out.printf(Locale.ROOT, "Virtual time: %d ticks (%.0f s), wall time %.1f s, enable %.1f ms, disable %.1f ms%n",
+                ticks, ticks * TICK_MILLIS / 1000.0, wallSeconds, enableMillis, disableMillis);
+        System.out.printf(Locale.ROOT, "Plugin time per tick: mean=%.3f ms p50=%.3f ms p99=%.3f ms max=%.3f ms, ticks over 50 ms budget=%d%n",
+                mean(nanos) / 1e6, percentile(nanos, 0.5) / 1e6, percentile(nanos, 0.99) / 1e6, nanos[nanos.length - 1] / 1e6,
+                countOver(nanos, TICK_MILLIS * 1_000_000L));
+        System.out.printf(Locale.ROOT, "Allocation: total=%.1f MB mean=%.1f KB/tick p99=%.1f KB/tick max=%.1f KB/tick%n",
+                sum(alloc, 0, alloc.length) / 1048576.0, mean(alloc) / 1024, percentile(alloc, 0.99) / 1024.0, alloc[alloc.length - 1] / 1024.0);
+        System.out.printf(Locale.ROOT, "Async workers: cpu total=%.1f ms mean=%.3f ms/tick p99=%.3f ms/tick max=%.3f ms/tick, alloc total=%.1f MB mean=%.1f KB/tick p99=%.1f KB/tick%n",
+                asyncTotal[0] / 1e6, mean(asyncCpu) / 1e6, percentile(asyncCpu, 0.99) / 1e6, asyncCpu[asyncCpu.length - 1] / 1e6,
+                asyncTotal[1] / 1048576.0, mean(asyncAlloc) / 1024, percentile(asyncAlloc, 0.99) / 1024.0);
+        System.out.printf(Locale.ROOT, "GC pauses: count=%d total=%d ms max=%d ms%n", pauses.length, sum(pauses, 0, pauses.length), max(pauses));
+        System.out.printf(Locale.ROOT, "File writes: total=%d mean=%.2f ms/write max=%d per tick, ticks with writes=%d%n",
+                totalWrites, totalWrites == 0 ? 0 : plugin.fileWriteNanos.sum() / 1e6 / totalWrites, writes[writes.length - 1], countOver(writes, 0));
+        System.out.printf(Locale.ROOT, "Delivery: messages=%d titles=%d async tasks=%d%s%n",
+                sim.messagesDelivered.sum(), sim.titlesDelivered.sum(), sim.asyncTasks.sum(), drained ? "" : " (async queue not drained)");
+        System.out.printf(Locale.ROOT, "Logins: accepted=%d rejected=%d, online at end=%d%n", acceptedLogins, rejectedLogins, sim.onlinePlayers().size());
+        System.out.printf(Locale.ROOT, "Expiry accuracy: expired=%d mean lag=%.0f ms p99=%d ms max=%d ms, late (>%d ms)=%d, overdue at end=%d%n",
+                lags.length, mean(lags), percentile(lags, 0.99), lags.length == 0 ? 0 : lags[lags.length - 1],
+                20 * TICK_MILLIS + TICK_MILLIS, countOver(lags, 20 * TICK_MILLIS + TICK_MILLIS), overdue.size());
+        System.out.println("Data folder: " + dataFolder.getAbsolutePath());
+    }
+
+    private static double mean(long[] values) {
+        return values.length == 0 ? 0 : (double) sum(values, 0, values.length) / values.length;
+    }
+
+    private static long sum(long[] values, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+
+    private static long max(long[] values) {
+        long max = 0;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static int countOver(long[] values, long threshold) {
+        int count = 0;
+        for (long value : values) {
+            if (value > threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final class Expiry {
+        private final String key;
+        private final Map<UUID, Long> source;
+        private final UUID uuid;
+        private final long at;
+
+        private Expiry(String key, Map<UUID, Long> source, UUID uuid, long at) {
+            this.key = key;
+            this.source = source;
+            this.uuid = uuid;
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.example;
+
+import org.bukkit.Server;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+final class SimServer {
+
+    final Server server;
+    final LongAdder asyncTasks = new LongAdder();
+    final LongAdder messagesDelivered = new LongAdder();
+    final LongAdder titlesDelivered = new LongAdder();
+
+    private final Logger logger = Logger.getLogger("SimServer");
+    private final Map<UUID, SimPlayer> players = new ConcurrentHashMap<>();
+    private final Map<String, SimPlayer> playersByName = new ConcurrentHashMap<>();
+    private final Map<UUID, Player> onlinePlayers = new ConcurrentHashMap<>();
+    private final List<SyncTask> syncTasks = new ArrayList<>();
+    private final Queue<SyncTask> scheduledTasks = new ConcurrentLinkedQueue<>();
+    private final Set<Long> asyncThreadIds = ConcurrentHashMap.newKeySet();
+    private final List<SimPlayer> pendingKicks = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService asyncExecutor;
+    private Plugin plugin;
+    private PluginCommand eventCommand;
+    private volatile long currentTick;
+
+    SimServer(int asyncThreads) {
+        asyncExecutor = Executors.newFixedThreadPool(asyncThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Sim Async Worker");
+            thread.setDaemon(true);
+            asyncThreadIds.add(thread.getId());
+            return thread;
+        });
+        BukkitScheduler scheduler = proxy(BukkitScheduler.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "runTaskTimer":
+                    if (args[1] instanceof Runnable) {
+                        scheduledTasks.add(new SyncTask((Runnable) args[1], currentTick + (Long) args[2], (Long) args[3]));
+                    }
+                    return null;
+                case "runTask":
+                    if (args[1] instanceof Runnable) {
+                        scheduledTasks.add(new SyncTask((Runnable) args[1], currentTick + 1, 0));
+                    }
+                    return null;
+                case "runTaskAsynchronously":
+                    if (args[1] instanceof Runnable && !asyncExecutor.isShutdown()) {
+                        asyncTasks.increment();
+                        asyncExecutor.execute((Runnable) args[1]);
+                    }
+                    return null;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+        PluginManager pluginManager = proxy(PluginManager.class, (proxy, method, args) -> defaultValue(method.getReturnType()));
+        server = proxy(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                    return "SimServer";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "1.16.5-R0.1-SNAPSHOT";
+                case "getScheduler":
+                    return scheduler;
+                case "getPluginManager":
+                    return pluginManager;
+                case "getPluginCommand":
+                    return getPluginCommand((String) args[0]);
+                case "getOnlinePlayers":
+                    return Collections.unmodifiableCollection(onlinePlayers.values());
+                case "getMaxPlayers":
+                    return Integer.MAX_VALUE;
+                case "getPlayer":
+                case "getPlayerExact":
+                    SimPlayer player = args[0] instanceof UUID
+                            ? players.get(args[0])
+                            : playersByName.get(((String) args[0]).toLowerCase());
+                    return player != null && player.online ? player.proxy : null;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    void attach(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    private PluginCommand getPluginCommand(String name) throws ReflectiveOperationException {
+        if (!name.equals("event") && !name.equals("eventplugin:event")) {
+            return null;
+        }
+        if (eventCommand == null) {
+            Constructor<PluginCommand> constructor = PluginCommand.class.getDeclaredConstructor(String.class, Plugin.class);
+            constructor.setAccessible(true);
+            eventCommand = constructor.newInstance("event", plugin);
+        }
+        return eventCommand;
+    }
+
+    PluginCommand eventCommand() {
+        return eventCommand;
+    }
+
+    SimPlayer createPlayer(String name, UUID uuid, String address) {
+        return new SimPlayer(name, uuid, new InetSocketAddress(address, 25565));
+    }
+
+    void addOnline(SimPlayer player) {
+        player.online = true;
+        players.put(player.uuid, player);
+        playersByName.put(player.name.toLowerCase(), player);
+        onlinePlayers.put(player.uuid, player.proxy);
+    }
+
+    void removeOnline(SimPlayer player) {
+        player.online = false;
+        onlinePlayers.remove(player.uuid);
+        playersByName.remove(player.name.toLowerCase(), player);
+    }
+
+    Collection<Player> onlinePlayers() {
+        return onlinePlayers.values();
+    }
+
+    List<SimPlayer> drainKicks() {
+        synchronized (pendingKicks) {
+            List<SimPlayer> kicked = new ArrayList<>(pendingKicks);
+            pendingKicks.clear();
+            return kicked;
+        }
+    }
+
+    Set<Long> asyncThreadIds() {
+        return asyncThreadIds;
+    }
+
+    void tick(long tick) {
+        currentTick = tick;
+        SyncTask scheduled;
+        while ((scheduled = scheduledTasks.poll()) != null) {
+            syncTasks.add(scheduled);
+        }
+        for (int i = 0; i < syncTasks.size(); i++) {
+            SyncTask task = syncTasks.get(i);
+            if (task.nextRun <= tick) {
+                task.runnable.run();
+                if (task.period > 0) {
+                    task.nextRun = tick + task.period;
+                } else {
+                    syncTasks.remove(i--);
+                }
+            }
+        }
+    }
+
+    boolean shutdown(long timeoutSeconds) throws InterruptedException {
+        asyncExecutor.shutdown();
+        return asyncExecutor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    return handler.invoke(proxy, method, args);
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+    private static final class SyncTask {
+        private final Runnable runnable;
+        private final long period;
+        private long nextRun;
+
+        private SyncTask(Runnable runnable, long nextRun, long period) {
+            this.runnable = runnable;
+            this.nextRun = nextRun;
+            this.period = period;
+        }
+    }
+
+    final class SimPlayer {
+        final String name;
+        final UUID uuid;
+        final InetSocketAddress address;
+        final Set<String> permissions = ConcurrentHashMap.newKeySet();
+        final Player proxy;
+        volatile boolean online;
+
+        private SimPlayer(String name, UUID uuid, InetSocketAddress address) {
+            this.name = name;
+            this.uuid = uuid;
+            this.address = address;
+            this.proxy = SimServer.proxy(Player.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getUniqueId":
+                        return uuid;
+                    case "getName":
+                    case "getDisplayName":
+                    case "getPlayerListName":
+                        return name;
+                    case "getAddress":
+                        return address;
+                    case "isOnline":
+                        return online;
+                    case "getServer":
+                        return server;
+                    case "hasPermission":
+                    case "isPermissionSet":
+                        return args[0] instanceof String && permissions.contains(args[0]);
+                    case "sendMessage":
+                        messagesDelivered.add(args[args.length - 1] instanceof String[] ? ((String[]) args[args.length - 1]).length : 1);
+                        return null;
+                    case "sendTitle":
+                        titlesDelivered.increment();
+                        return null;
+                    case "kickPlayer":
+                        if (online) {
+                            pendingKicks.add(this);
+                        }
+                        return null;
+                    case "addPotionEffect":
+                    case "removePotionEffect":
+                        return method.getReturnType() == boolean.class ? true : null;
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+        }
+    }
+}
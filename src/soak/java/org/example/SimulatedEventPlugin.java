@@ -0,0 +1,45 @@
+package org.example;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SimulatedEventPlugin extends EventPlugin {
+
+    private volatile long virtualTime;
+    final LongAdder fileWrites = new LongAdder();
+    final LongAdder fileWriteNanos = new LongAdder();
+
+    protected SimulatedEventPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    void enable() {
+        setEnabled(true);
+    }
+
+    void disable() {
+        setEnabled(false);
+    }
+
+    void setVirtualTime(long virtualTime) {
+        this.virtualTime = virtualTime;
+    }
+
+    @Override
+    long currentTimeMillis() {
+        return virtualTime;
+    }
+
+    @Override
+    void saveFile(FileConfiguration configuration, File file) throws IOException {
+        long start = System.nanoTime();
+        super.saveFile(configuration, file);
+        fileWriteNanos.add(System.nanoTime() - start);
+        fileWrites.increment();
+    }
+}